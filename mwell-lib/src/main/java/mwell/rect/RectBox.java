@@ -15,15 +15,24 @@ import mwell.site.SiteType;
 /**
  * Defines a two-dimensional rectangular geometry for a microwell
  * device.
+ *
+ * <p>The microwell and a band of growth media immediately above the
+ * top surface are resolved into individual lattice sites.  The media
+ * above that band (if any) is treated as a continuum: its sites are
+ * classified as {@code BULK} but are not materialized as lattice
+ * sites, and the uppermost lattice sites have no neighbors in the
+ * continuum region.
  */
 public final class RectBox {
     private final int wellDepth;
     private final int wellWidth;
     private final int wellSpacing;
     private final int mediaHeight;
+    private final int latticeBand;
 
     private final int totalWidth;
     private final int totalHeight;
+    private final int latticeHeight;
 
     private final List<RectSite> siteList;
     private final ObjectMatrix<RectSite> siteMatrix;
@@ -31,19 +40,22 @@ public final class RectBox {
     private RectBox(int wellDepth,
                     int wellWidth,
                     int wellSpacing,
-                    int mediaHeight) {
+                    int mediaHeight,
+                    int latticeBand) {
         this.wellDepth = wellDepth;
         this.wellWidth = wellWidth;
         this.wellSpacing = wellSpacing;
         this.mediaHeight = mediaHeight;
+        this.latticeBand = latticeBand;
 
         validateDim();
 
         this.totalWidth = wellWidth + wellSpacing;
         this.totalHeight = wellDepth + mediaHeight;
+        this.latticeHeight = wellDepth + latticeBand;
 
         this.siteList = new ArrayList<RectSite>();
-        this.siteMatrix = ObjectMatrix.create(totalWidth, totalHeight);
+        this.siteMatrix = ObjectMatrix.create(totalWidth, latticeHeight);
 
         fillSites();
     }
@@ -53,6 +65,10 @@ public final class RectBox {
         validateDim(wellWidth, "well width");
         validateDim(wellSpacing, "well spacing");
         validateDim(mediaHeight, "media height");
+        validateDim(latticeBand, "lattice band");
+
+        if (latticeBand > mediaHeight)
+            throw JamException.runtime("Invalid dimension: lattice band may not exceed media height.");
     }
 
     private static void validateDim(int dim, String desc) {
@@ -66,7 +82,7 @@ public final class RectBox {
 
     private void fillSites() {
         int nx = totalWidth;
-        int ny = totalHeight;
+        int ny = latticeHeight;
 
         for (int y = 0; y < ny; ++y)
             for (int x = 0; x < nx; ++x)
@@ -80,6 +96,10 @@ public final class RectBox {
             addSite(type, x, y);
     }
 
+    private boolean isLatticeSite(int x, int y) {
+        return y <= getLatticeCeilingY() && classifySite(x, y).isAccessible();
+    }
+
     private void addSite(SiteType type, int x, int y) {
         UnitIndex index = UnitIndex.at(x, y);
         List<UnitIndex> neighbors = findNeighbors(x, y);
@@ -98,7 +118,7 @@ public final class RectBox {
         for (RectDirection direc : RectDirection.values()) {
             UnitIndex neighbor = direc.neighbor(x, y);
 
-            if (classifySite(neighbor.coord(0), neighbor.coord(1)).isAccessible())
+            if (isLatticeSite(neighbor.coord(0), neighbor.coord(1)))
                 neighbors.add(neighbor);
         }
 
@@ -120,7 +140,8 @@ public final class RectBox {
      * @param mediaHeight the number of lattice sites above the
      * microwells that contain free growth media.
      *
-     * @return a new rectangular box with the specified dimensions.
+     * @return a new rectangular box with the specified dimensions
+     * (with the entire growth media resolved on the lattice).
      *
      * @throws RuntimeException unless all parameters are positive.
      */
@@ -128,7 +149,41 @@ public final class RectBox {
                                  int wellWidth,
                                  int wellSpacing,
                                  int mediaHeight) {
-        return new RectBox(wellDepth, wellWidth, wellSpacing, mediaHeight);
+        return create(wellDepth, wellWidth, wellSpacing, mediaHeight, mediaHeight);
+    }
+
+    /**
+     * Creates a new hybrid rectangular box with fixed dimensions: the
+     * microwell and the lowest {@code latticeBand} rows of growth
+     * media are resolved on the lattice; the remaining media is
+     * treated as a continuum.
+     *
+     * @param wellDepth the vertical depth of the microwell
+     * (expressed as a number of lattice sites).
+     *
+     * @param wellWidth the horizontal width of the microwell
+     * (expressed as a number of lattice sites).
+     *
+     * @param wellSpacing the number of lattice sites between
+     * microwells.
+     *
+     * @param mediaHeight the number of lattice sites above the
+     * microwells that contain free growth media.
+     *
+     * @param latticeBand the number of rows of growth media (starting
+     * at the top surface) that are resolved on the lattice.
+     *
+     * @return a new rectangular box with the specified dimensions.
+     *
+     * @throws RuntimeException unless all parameters are positive
+     * and the lattice band does not exceed the media height.
+     */
+    public static RectBox create(int wellDepth,
+                                 int wellWidth,
+                                 int wellSpacing,
+                                 int mediaHeight,
+                                 int latticeBand) {
+        return new RectBox(wellDepth, wellWidth, wellSpacing, mediaHeight, latticeBand);
     }
 
     /**
@@ -234,6 +289,63 @@ public final class RectBox {
         return getTopSurfaceY() + mediaHeight - 1;
     }
 
+    /**
+     * Returns the {@code y}-coordinate of the uppermost row of
+     * lattice sites; rows above lie in the continuum region.
+     *
+     * @return the {@code y}-coordinate of the uppermost row of
+     * lattice sites.
+     */
+    public int getLatticeCeilingY() {
+        return getTopSurfaceY() + latticeBand - 1;
+    }
+
+    /**
+     * Returns the number of rows of growth media that are resolved
+     * on the lattice in this rectangular box.
+     *
+     * @return the number of rows of growth media that are resolved
+     * on the lattice in this rectangular box.
+     */
+    public int getLatticeBand() {
+        return latticeBand;
+    }
+
+    /**
+     * Returns the number of unique {@code y}-coordinates resolved on
+     * the lattice in this rectangular box.
+     *
+     * @return the number of unique {@code y}-coordinates resolved on
+     * the lattice in this rectangular box.
+     */
+    public int getLatticeHeight() {
+        return latticeHeight;
+    }
+
+    /**
+     * Returns the height of the growth medium treated as a continuum
+     * in this rectangular box.
+     *
+     * @return the height of the growth medium treated as a continuum
+     * in this rectangular box.
+     */
+    public int getContinuumHeight() {
+        return mediaHeight - latticeBand;
+    }
+
+    /**
+     * Identifies rows of growth media that are treated as a continuum
+     * rather than resolved on the lattice.
+     *
+     * @param y the {@code y}-coordinate to test.
+     *
+     * @return {@code true} iff the specified row lies in the
+     * continuum region of this box.
+     */
+    public boolean isContinuumRow(int y) {
+        return y > getLatticeCeilingY() && y <= getMediaCeilingY();
+    }
+
     /**
      * Returns the height of the growth medium above the microwell in
      * this rectangular box.
@@ -327,6 +439,45 @@ public final class RectBox {
         return Collections.unmodifiableList(siteList);
     }
 
+    /**
+     * Returns the number of ordinal indexes assigned to locations on
+     * the lattice (one plus the largest value that may be returned by
+     * {@code ordinalOf}).
+     *
+     * @return the number of ordinal indexes assigned to locations on
+     * the lattice.
+     */
+    public int countOrdinals() {
+        return totalWidth * latticeHeight;
+    }
+
+    /**
+     * Returns the ordinal index of a location on the lattice, which
+     * may be used to store per-site state in flat arrays or bit sets.
+     * Periodic boundary conditions are applied in the
+     * {@code x}-direction.
+     *
+     * @param x the {@code x}-coordinate of the location.
+     *
+     * @param y the {@code y}-coordinate of the location.
+     *
+     * @return the ordinal index of the specified location.
+     */
+    public int ordinalOf(int x, int y) {
+        return y * totalWidth + imageOf(x);
+    }
+
+    /**
+     * Returns the ordinal index of a location on the lattice.
+     *
+     * @param index the coordinates of the location.
+     *
+     * @return the ordinal index of the specified location.
+     */
+    public int ordinalOf(UnitIndex index) {
+        return ordinalOf(index.coord(0), index.coord(1));
+    }
+
     /**
      * Returns the lattice site at a particular location.
      *
@@ -336,12 +487,15 @@ public final class RectBox {
      *
      * @return the lattice site at the specified location (or
      * {@code null} if the coordinates identify an inaccessible
-     * location).
+     * location or a location in the continuum region).
      *
      * @throws IndexOutOfBoundsException unless the coordinates
      * lie within this box.
      */
     public RectSite siteAt(int x, int y) {
-        return siteMatrix.get(x, y);
+        if (isContinuumRow(y))
+            return null;
+        else
+            return siteMatrix.get(x, y);
     }
 }
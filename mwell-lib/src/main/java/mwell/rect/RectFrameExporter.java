@@ -0,0 +1,317 @@
+package mwell.rect;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import jam.lang.JamException;
+
+/**
+ * Writes rendered lattice snapshots to image files on a background
+ * thread.
+ *
+ * <p>The exporter owns a fixed pool of pixel buffers.  Submitting a
+ * frame renders the occupancy into a free buffer on the calling
+ * thread and hands the buffer to the writer thread; if no buffer is
+ * free (the writer has fallen behind), the frame is dropped rather
+ * than blocking the simulation.  Frames are written to files named
+ * {@code <prefix>_<frame>.<ext>} with the frame index zero-padded to
+ * eight digits.
+ */
+public final class RectFrameExporter implements Closeable {
+    /**
+     * Enumerates the supported image formats.
+     */
+    public enum Format {
+        /**
+         * Binary portable graymap (uncompressed).
+         */
+        PGM("pgm"),
+
+        /**
+         * Portable network graphics (8-bit grayscale).
+         */
+        PNG("png");
+
+        private final String extension;
+
+        private Format(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * Returns the file name extension for this format.
+         *
+         * @return the file name extension for this format.
+         */
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final RectRaster raster;
+    private final File directory;
+    private final String prefix;
+    private final Format format;
+
+    private final BlockingQueue<Frame> freeFrames;
+    private final BlockingQueue<Frame> pendingFrames;
+
+    private final Thread writerThread;
+    private final AtomicInteger dropCount = new AtomicInteger();
+
+    private final byte[] pgmHeader;
+    private final BufferedImage pngImage;
+    private final ImageWriter pngWriter;
+
+    private volatile IOException writeError = null;
+    private volatile boolean closed = false;
+
+    // Signals the writer thread to exit...
+    private static final Frame POISON = new Frame(null);
+
+    private static final class Frame {
+        private final byte[] pixels;
+        private int index;
+
+        private Frame(byte[] pixels) {
+            this.pixels = pixels;
+        }
+    }
+
+    private RectFrameExporter(RectRaster raster, File directory, String prefix, Format format, int capacity) {
+        if (capacity < 1)
+            throw JamException.runtime("Queue capacity must be positive.");
+
+        this.raster = raster;
+        this.directory = directory;
+        this.prefix = prefix;
+        this.format = format;
+
+        this.freeFrames = new ArrayBlockingQueue<Frame>(capacity);
+        this.pendingFrames = new ArrayBlockingQueue<Frame>(capacity + 1);
+
+        for (int k = 0; k < capacity; ++k)
+            freeFrames.add(new Frame(raster.newBuffer()));
+
+        this.pgmHeader = pgmHeader(raster);
+        this.pngImage = pngImage(format, raster);
+        this.pngWriter = pngWriter(format);
+
+        this.writerThread = new Thread(this::writeFrames, "RectFrameExporter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    private static byte[] pgmHeader(RectRaster raster) {
+        String header = String.format("P5\n%d %d\n255\n", raster.getWidth(), raster.getHeight());
+        return header.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static BufferedImage pngImage(Format format, RectRaster raster) {
+        if (format == Format.PNG)
+            return new BufferedImage(raster.getWidth(), raster.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        else
+            return null;
+    }
+
+    private static ImageWriter pngWriter(Format format) {
+        if (format != Format.PNG)
+            return null;
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("png");
+
+        if (!writers.hasNext())
+            throw JamException.runtime("No PNG image writer is available.");
+
+        return writers.next();
+    }
+
+    /**
+     * Creates a new frame exporter and starts its writer thread.
+     *
+     * @param raster the raster that renders the lattice.
+     *
+     * @param directory the directory where image files are written.
+     *
+     * @param prefix the prefix for image file names.
+     *
+     * @param format the image format.
+     *
+     * @param capacity the maximum number of frames waiting to be
+     * written (the number of pixel buffers owned by the exporter).
+     *
+     * @return a new frame exporter with the specified attributes.
+     *
+     * @throws RuntimeException unless the capacity is positive.
+     */
+    public static RectFrameExporter create(RectRaster raster, File directory, String prefix, Format format, int capacity) {
+        return new RectFrameExporter(raster, directory, prefix, format, capacity);
+    }
+
+    /**
+     * Returns the file that contains (or will contain) a frame.
+     *
+     * @param index the frame index.
+     *
+     * @return the file for the specified frame.
+     */
+    public File frameFile(int index) {
+        return new File(directory, String.format("%s_%08d.%s", prefix, index, format.getExtension()));
+    }
+
+    /**
+     * Returns the number of frames dropped because the writer thread
+     * had fallen behind.
+     *
+     * @return the number of frames dropped.
+     */
+    public int countDropped() {
+        return dropCount.get();
+    }
+
+    /**
+     * Renders a frame and queues it for writing; this method never
+     * waits for the writer thread.
+     *
+     * @param index the frame index.
+     *
+     * @param occupied the occupied sites, indexed by their ordinal
+     * positions in the box.
+     *
+     * @return {@code true} if the frame was queued, {@code false} if
+     * it was dropped because no pixel buffer was free.
+     *
+     * @throws IllegalStateException if this exporter is closed.
+     *
+     * @throws UncheckedIOException if a previous frame could not be
+     * written.
+     */
+    public boolean submit(int index, BitSet occupied) {
+        if (closed)
+            throw new IllegalStateException("Frame exporter is closed.");
+
+        checkError();
+
+        Frame frame = freeFrames.poll();
+
+        if (frame == null) {
+            dropCount.incrementAndGet();
+            return false;
+        }
+
+        frame.index = index;
+        raster.render(occupied, frame.pixels);
+        pendingFrames.add(frame);
+
+        return true;
+    }
+
+    private void checkError() {
+        if (writeError != null)
+            throw new UncheckedIOException(writeError);
+    }
+
+    private void writeFrames() {
+        try {
+            while (true) {
+                Frame frame = pendingFrames.take();
+
+                if (frame == POISON)
+                    return;
+
+                if (writeError == null)
+                    writeFrame(frame);
+
+                freeFrames.add(frame);
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeFrame(Frame frame) {
+        try {
+            switch (format) {
+            case PGM:
+                writePGM(frame);
+                break;
+
+            case PNG:
+                writePNG(frame);
+                break;
+
+            default:
+                throw JamException.runtime("Unknown format: [%s].", format);
+            }
+        }
+        catch (IOException ex) {
+            writeError = ex;
+        }
+    }
+
+    private void writePGM(Frame frame) throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(frameFile(frame.index)))) {
+            stream.write(pgmHeader);
+            stream.write(frame.pixels);
+        }
+    }
+
+    private void writePNG(Frame frame) throws IOException {
+        byte[] imageData = ((DataBufferByte) pngImage.getRaster().getDataBuffer()).getData();
+        System.arraycopy(frame.pixels, 0, imageData, 0, imageData.length);
+
+        File file = frameFile(frame.index);
+        file.delete();
+
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(file)) {
+            pngWriter.setOutput(stream);
+            pngWriter.write(pngImage);
+        }
+        finally {
+            pngWriter.reset();
+        }
+    }
+
+    /**
+     * Writes all queued frames and stops the writer thread.
+     *
+     * @throws UncheckedIOException if any frame could not be written.
+     */
+    @Override public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        pendingFrames.add(POISON);
+
+        try {
+            writerThread.join();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (pngWriter != null)
+            pngWriter.dispose();
+
+        checkError();
+    }
+}
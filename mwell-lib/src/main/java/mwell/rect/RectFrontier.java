@@ -0,0 +1,313 @@
+package mwell.rect;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+import jam.bravais.UnitIndex;
+import jam.lang.JamException;
+
+/**
+ * Tracks the occupied sites in a rectangular box together with the
+ * active frontier: the occupied sites that have at least one empty
+ * neighbor (and are therefore able to divide or migrate).
+ *
+ * <p>The frontier is updated incrementally as sites are occupied and
+ * vacated, at a cost proportional to the number of neighbors of the
+ * changed site.  The frontier is stored as a dense array of ordinal
+ * indexes, so iterating over it costs time proportional to the size
+ * of the colony surface rather than the volume of the box.
+ *
+ * <p>Sites are identified by their ordinal indexes in the box (as
+ * assigned by {@code RectBox.ordinalOf}).
+ */
+public final class RectFrontier {
+    private final RectBox box;
+
+    // Ordinal indexes of the neighbors of each site (null for
+    // ordinals that do not correspond to lattice sites)...
+    private final int[][] neighbors;
+
+    // Number of empty neighbors of each site...
+    private final int[] emptyCount;
+
+    private final BitSet occupied;
+
+    // Dense set of frontier ordinals: members[0..size) holds the
+    // frontier sites and position[ordinal] holds the location of
+    // each member in that array (or -1 for non-members)...
+    private final int[] members;
+    private final int[] position;
+    private int size = 0;
+
+    private RectFrontier(RectBox box) {
+        int count = box.countOrdinals();
+
+        this.box = box;
+        this.neighbors = new int[count][];
+        this.emptyCount = new int[count];
+        this.occupied = new BitSet(count);
+        this.members = new int[count];
+        this.position = new int[count];
+
+        Arrays.fill(position, -1);
+        fillNeighbors();
+    }
+
+    private void fillNeighbors() {
+        for (RectSite site : box.listSites())
+            fillNeighbors(site);
+    }
+
+    private void fillNeighbors(RectSite site) {
+        int ordinal = box.ordinalOf(site.getIndex());
+        int[] siteNeighbors = new int[site.countNeighbors()];
+
+        int k = 0;
+
+        for (UnitIndex neighbor : site.getNeighbors())
+            siteNeighbors[k++] = box.ordinalOf(neighbor);
+
+        neighbors[ordinal] = siteNeighbors;
+        emptyCount[ordinal] = siteNeighbors.length;
+    }
+
+    /**
+     * Creates a new frontier tracker for a rectangular box with all
+     * sites empty.
+     *
+     * @param box the box to track.
+     *
+     * @return a new frontier tracker for the specified box.
+     */
+    public static RectFrontier create(RectBox box) {
+        return new RectFrontier(box);
+    }
+
+    /**
+     * Returns the box tracked by this frontier.
+     *
+     * @return the box tracked by this frontier.
+     */
+    public RectBox getBox() {
+        return box;
+    }
+
+    /**
+     * Returns the number of sites on the active frontier.
+     *
+     * @return the number of sites on the active frontier.
+     */
+    public int countFrontier() {
+        return size;
+    }
+
+    /**
+     * Returns the number of occupied sites.
+     *
+     * @return the number of occupied sites.
+     */
+    public int countOccupied() {
+        return occupied.cardinality();
+    }
+
+    /**
+     * Returns the ordinal index of a frontier site.
+     *
+     * <p>Occupying or vacating a site may reorder the frontier, so
+     * callers that modify occupancy while iterating should first
+     * take a snapshot with {@code frontier()}.
+     *
+     * @param k the position of the site on the frontier, in the range
+     * {@code [0, countFrontier())}.
+     *
+     * @return the ordinal index of the frontier site at the specified
+     * position.
+     *
+     * @throws IndexOutOfBoundsException unless the position is valid.
+     */
+    public int frontierAt(int k) {
+        if (k < 0 || k >= size)
+            throw new IndexOutOfBoundsException("Invalid frontier position: " + k);
+
+        return members[k];
+    }
+
+    /**
+     * Returns a snapshot of the ordinal indexes on the active
+     * frontier.
+     *
+     * @return a snapshot of the ordinal indexes on the active
+     * frontier.
+     */
+    public int[] frontier() {
+        return Arrays.copyOf(members, size);
+    }
+
+    /**
+     * Applies an action to each site on the active frontier; the
+     * action must not occupy or vacate any sites.
+     *
+     * @param action the action to apply to each frontier ordinal.
+     */
+    public void forEachFrontier(IntConsumer action) {
+        for (int k = 0; k < size; ++k)
+            action.accept(members[k]);
+    }
+
+    /**
+     * Identifies frontier sites.
+     *
+     * @param ordinal the ordinal index of the site to test.
+     *
+     * @return {@code true} iff the specified site is occupied and has
+     * at least one empty neighbor.
+     */
+    public boolean isFrontier(int ordinal) {
+        return position[ordinal] >= 0;
+    }
+
+    /**
+     * Identifies occupied sites.
+     *
+     * @param ordinal the ordinal index of the site to test.
+     *
+     * @return {@code true} iff the specified site is occupied.
+     */
+    public boolean isOccupied(int ordinal) {
+        return occupied.get(ordinal);
+    }
+
+    /**
+     * Returns the number of empty neighbors of a site.
+     *
+     * @param ordinal the ordinal index of the site.
+     *
+     * @return the number of empty neighbors of the specified site.
+     */
+    public int countEmptyNeighbors(int ordinal) {
+        return emptyCount[ordinal];
+    }
+
+    /**
+     * Returns the ordinal indexes of the neighbors of a site.
+     *
+     * @param ordinal the ordinal index of the site.
+     *
+     * @return the ordinal indexes of the neighbors of the specified
+     * site (a shared array that must not be modified).
+     *
+     * @throws RuntimeException unless the ordinal identifies a
+     * lattice site.
+     */
+    public int[] neighborsOf(int ordinal) {
+        int[] siteNeighbors = neighbors[ordinal];
+
+        if (siteNeighbors == null)
+            throw JamException.runtime("Ordinal [%d] is not a lattice site.", ordinal);
+
+        return siteNeighbors;
+    }
+
+    /**
+     * Returns the occupied sites, indexed by ordinal (suitable for
+     * rendering with {@code RectRaster}).
+     *
+     * @return a live view of the occupied sites (which must not be
+     * modified).
+     */
+    public BitSet viewOccupied() {
+        return occupied;
+    }
+
+    /**
+     * Occupies an empty site and updates the frontier.
+     *
+     * @param ordinal the ordinal index of the site to occupy.
+     *
+     * @throws RuntimeException unless the ordinal identifies an empty
+     * lattice site.
+     */
+    public void occupy(int ordinal) {
+        int[] siteNeighbors = neighborsOf(ordinal);
+
+        if (occupied.get(ordinal))
+            throw JamException.runtime("Site [%d] is already occupied.", ordinal);
+
+        occupied.set(ordinal);
+
+        if (emptyCount[ordinal] > 0)
+            add(ordinal);
+
+        for (int neighbor : siteNeighbors) {
+            --emptyCount[neighbor];
+
+            if (emptyCount[neighbor] == 0 && occupied.get(neighbor))
+                remove(neighbor);
+        }
+    }
+
+    /**
+     * Occupies an empty site and updates the frontier.
+     *
+     * @param site the site to occupy.
+     *
+     * @throws RuntimeException unless the site is empty.
+     */
+    public void occupy(RectSite site) {
+        occupy(box.ordinalOf(site.getIndex()));
+    }
+
+    /**
+     * Vacates an occupied site and updates the frontier.
+     *
+     * @param ordinal the ordinal index of the site to vacate.
+     *
+     * @throws RuntimeException unless the ordinal identifies an
+     * occupied lattice site.
+     */
+    public void vacate(int ordinal) {
+        int[] siteNeighbors = neighborsOf(ordinal);
+
+        if (!occupied.get(ordinal))
+            throw JamException.runtime("Site [%d] is not occupied.", ordinal);
+
+        occupied.clear(ordinal);
+
+        if (position[ordinal] >= 0)
+            remove(ordinal);
+
+        for (int neighbor : siteNeighbors) {
+            ++emptyCount[neighbor];
+
+            if (emptyCount[neighbor] == 1 && occupied.get(neighbor))
+                add(neighbor);
+        }
+    }
+
+    /**
+     * Vacates an occupied site and updates the frontier.
+     *
+     * @param site the site to vacate.
+     *
+     * @throws RuntimeException unless the site is occupied.
+     */
+    public void vacate(RectSite site) {
+        vacate(box.ordinalOf(site.getIndex()));
+    }
+
+    private void add(int ordinal) {
+        members[size] = ordinal;
+        position[ordinal] = size;
+        ++size;
+    }
+
+    private void remove(int ordinal) {
+        int k = position[ordinal];
+        int last = members[--size];
+
+        members[k] = last;
+        position[last] = k;
+        position[ordinal] = -1;
+    }
+}
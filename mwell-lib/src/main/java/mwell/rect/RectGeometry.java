@@ -0,0 +1,161 @@
+package mwell.rect;
+
+/**
+ * Encapsulates the dimensions of a rectangular microwell box so that
+ * boxes with identical geometry may be identified (and shared)
+ * before they are built.
+ */
+public final class RectGeometry {
+    private final int wellDepth;
+    private final int wellWidth;
+    private final int wellSpacing;
+    private final int mediaHeight;
+    private final int latticeBand;
+
+    private RectGeometry(int wellDepth,
+                         int wellWidth,
+                         int wellSpacing,
+                         int mediaHeight,
+                         int latticeBand) {
+        this.wellDepth = wellDepth;
+        this.wellWidth = wellWidth;
+        this.wellSpacing = wellSpacing;
+        this.mediaHeight = mediaHeight;
+        this.latticeBand = latticeBand;
+    }
+
+    /**
+     * Creates a new geometry with the entire growth media resolved
+     * on the lattice.
+     *
+     * @param wellDepth the vertical depth of the microwell.
+     *
+     * @param wellWidth the horizontal width of the microwell.
+     *
+     * @param wellSpacing the number of lattice sites between
+     * microwells.
+     *
+     * @param mediaHeight the number of lattice sites above the
+     * microwells that contain free growth media.
+     *
+     * @return the geometry with the specified dimensions.
+     */
+    public static RectGeometry create(int wellDepth,
+                                      int wellWidth,
+                                      int wellSpacing,
+                                      int mediaHeight) {
+        return create(wellDepth, wellWidth, wellSpacing, mediaHeight, mediaHeight);
+    }
+
+    /**
+     * Creates a new hybrid geometry.
+     *
+     * @param wellDepth the vertical depth of the microwell.
+     *
+     * @param wellWidth the horizontal width of the microwell.
+     *
+     * @param wellSpacing the number of lattice sites between
+     * microwells.
+     *
+     * @param mediaHeight the number of lattice sites above the
+     * microwells that contain free growth media.
+     *
+     * @param latticeBand the number of rows of growth media that
+     * are resolved on the lattice.
+     *
+     * @return the geometry with the specified dimensions.
+     */
+    public static RectGeometry create(int wellDepth,
+                                      int wellWidth,
+                                      int wellSpacing,
+                                      int mediaHeight,
+                                      int latticeBand) {
+        return new RectGeometry(wellDepth, wellWidth, wellSpacing, mediaHeight, latticeBand);
+    }
+
+    /**
+     * Builds a rectangular box with this geometry.
+     *
+     * @return a new rectangular box with this geometry.
+     *
+     * @throws RuntimeException unless the dimensions are valid.
+     */
+    public RectBox build() {
+        return RectBox.create(wellDepth, wellWidth, wellSpacing, mediaHeight, latticeBand);
+    }
+
+    /**
+     * Returns the depth of the microwell.
+     *
+     * @return the depth of the microwell.
+     */
+    public int getWellDepth() {
+        return wellDepth;
+    }
+
+    /**
+     * Returns the width of the microwell.
+     *
+     * @return the width of the microwell.
+     */
+    public int getWellWidth() {
+        return wellWidth;
+    }
+
+    /**
+     * Returns the number of sites between microwells.
+     *
+     * @return the number of sites between microwells.
+     */
+    public int getWellSpacing() {
+        return wellSpacing;
+    }
+
+    /**
+     * Returns the height of the growth medium above the microwell.
+     *
+     * @return the height of the growth medium above the microwell.
+     */
+    public int getMediaHeight() {
+        return mediaHeight;
+    }
+
+    /**
+     * Returns the number of rows of growth media resolved on the
+     * lattice.
+     *
+     * @return the number of rows of growth media resolved on the
+     * lattice.
+     */
+    public int getLatticeBand() {
+        return latticeBand;
+    }
+
+    @Override public boolean equals(Object obj) {
+        return (obj instanceof RectGeometry) && equalsGeometry((RectGeometry) obj);
+    }
+
+    private boolean equalsGeometry(RectGeometry that) {
+        return this.wellDepth == that.wellDepth
+            && this.wellWidth == that.wellWidth
+            && this.wellSpacing == that.wellSpacing
+            && this.mediaHeight == that.mediaHeight
+            && this.latticeBand == that.latticeBand;
+    }
+
+    @Override public int hashCode() {
+        int result = wellDepth;
+
+        result = 31 * result + wellWidth;
+        result = 31 * result + wellSpacing;
+        result = 31 * result + mediaHeight;
+        result = 31 * result + latticeBand;
+
+        return result;
+    }
+
+    @Override public String toString() {
+        return String.format("RectGeometry(%d, %d, %d, %d, %d)",
+                             wellDepth, wellWidth, wellSpacing, mediaHeight, latticeBand);
+    }
+}
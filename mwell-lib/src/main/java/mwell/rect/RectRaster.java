@@ -0,0 +1,206 @@
+package mwell.rect;
+
+import java.util.BitSet;
+
+import jam.lang.JamException;
+
+import mwell.site.SiteType;
+
+/**
+ * Maps the sites of a rectangular box to the pixels of an 8-bit
+ * grayscale image, with one pixel per lattice location and the box
+ * tiled horizontally across adjacent microwells.
+ *
+ * <p>Pixels are stored in row-major order with the top row (the
+ * media ceiling) first.  The static background is computed once;
+ * rendering a frame copies the background and then overlays only
+ * the occupied sites.
+ */
+public final class RectRaster {
+    /**
+     * Gray level for sites in the solid body of the device.
+     */
+    public static final byte BODY_LEVEL = (byte) 0;
+
+    /**
+     * Gray level for empty surface sites.
+     */
+    public static final byte SURFACE_LEVEL = (byte) 96;
+
+    /**
+     * Gray level for growth media in the continuum region.
+     */
+    public static final byte CONTINUUM_LEVEL = (byte) 160;
+
+    /**
+     * Gray level for empty well and bulk sites.
+     */
+    public static final byte MEDIA_LEVEL = (byte) 192;
+
+    /**
+     * Gray level for occupied sites.
+     */
+    public static final byte OCCUPIED_LEVEL = (byte) 255;
+
+    private final RectBox box;
+    private final int tiles;
+    private final int width;
+    private final int height;
+    private final byte[] background;
+
+    private RectRaster(RectBox box, int tiles) {
+        if (tiles < 1)
+            throw JamException.runtime("Tile count must be positive.");
+
+        this.box = box;
+        this.tiles = tiles;
+        this.width = tiles * box.getTotalWidth();
+        this.height = box.getTotalHeight();
+        this.background = new byte[width * height];
+
+        fillBackground();
+    }
+
+    private void fillBackground() {
+        int nx = box.getTotalWidth();
+
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < nx; ++x)
+                fillBackground(x, y, levelOf(x, y));
+    }
+
+    private void fillBackground(int x, int y, byte level) {
+        for (int tile = 0; tile < tiles; ++tile)
+            background[pixelOf(tile, x, y)] = level;
+    }
+
+    private byte levelOf(int x, int y) {
+        if (box.isContinuumRow(y))
+            return CONTINUUM_LEVEL;
+
+        SiteType type = box.classifySite(x, y);
+
+        switch (type) {
+        case SURFACE:
+            return SURFACE_LEVEL;
+
+        case WELL:
+        case BULK:
+            return MEDIA_LEVEL;
+
+        default:
+            return BODY_LEVEL;
+        }
+    }
+
+    private int pixelOf(int tile, int x, int y) {
+        return (height - 1 - y) * width + tile * box.getTotalWidth() + x;
+    }
+
+    /**
+     * Creates a new raster for a rectangular box.
+     *
+     * @param box the box to render.
+     *
+     * @param tiles the number of periodic images of the box to render
+     * side by side.
+     *
+     * @return a new raster for the specified box.
+     *
+     * @throws RuntimeException unless the tile count is positive.
+     */
+    public static RectRaster create(RectBox box, int tiles) {
+        return new RectRaster(box, tiles);
+    }
+
+    /**
+     * Returns the box rendered by this raster.
+     *
+     * @return the box rendered by this raster.
+     */
+    public RectBox getBox() {
+        return box;
+    }
+
+    /**
+     * Returns the width of the rendered image in pixels.
+     *
+     * @return the width of the rendered image in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the rendered image in pixels.
+     *
+     * @return the height of the rendered image in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of pixels in the rendered image.
+     *
+     * @return the number of pixels in the rendered image.
+     */
+    public int countPixels() {
+        return background.length;
+    }
+
+    /**
+     * Allocates a pixel buffer with the size of the rendered image.
+     *
+     * @return a new pixel buffer with the size of the rendered image.
+     */
+    public byte[] newBuffer() {
+        return new byte[background.length];
+    }
+
+    /**
+     * Renders the current occupancy of the box into a pixel buffer.
+     *
+     * @param occupied the occupied sites, indexed by their ordinal
+     * positions in the box (as assigned by {@code RectBox.ordinalOf}).
+     *
+     * @param pixels the buffer to fill.
+     *
+     * @throws RuntimeException unless the buffer has the size of the
+     * rendered image.
+     */
+    public void render(BitSet occupied, byte[] pixels) {
+        if (pixels.length != background.length)
+            throw JamException.runtime("Invalid pixel buffer length.");
+
+        System.arraycopy(background, 0, pixels, 0, background.length);
+
+        int nx = box.getTotalWidth();
+
+        for (int ordinal = occupied.nextSetBit(0); ordinal >= 0; ordinal = occupied.nextSetBit(ordinal + 1)) {
+            int x = ordinal % nx;
+            int y = ordinal / nx;
+
+            for (int tile = 0; tile < tiles; ++tile)
+                pixels[pixelOf(tile, x, y)] = OCCUPIED_LEVEL;
+        }
+    }
+
+    /**
+     * Renders the current occupancy of the box into a new buffer.
+     *
+     * @param occupied the occupied sites, indexed by their ordinal
+     * positions in the box.
+     *
+     * @return the rendered pixels.
+     */
+    public byte[] render(BitSet occupied) {
+        byte[] pixels = newBuffer();
+        render(occupied, pixels);
+        return pixels;
+    }
+
+    @Override public String toString() {
+        return String.format("RectRaster(%d x %d)", width, height);
+    }
+}
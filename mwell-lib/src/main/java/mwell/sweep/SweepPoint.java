@@ -0,0 +1,105 @@
+package mwell.sweep;
+
+import jam.lang.JamException;
+
+import mwell.rect.RectGeometry;
+
+/**
+ * Identifies a single point in a parameter sweep: a microwell
+ * geometry, a set of model parameters, and a replicate index.
+ */
+public final class SweepPoint {
+    private final RectGeometry geometry;
+    private final String params;
+    private final int replicate;
+
+    private SweepPoint(RectGeometry geometry, String params, int replicate) {
+        this.geometry = geometry;
+        this.params = params;
+        this.replicate = replicate;
+
+        validate();
+    }
+
+    private void validate() {
+        if (params.indexOf('\t') >= 0 || params.indexOf('\n') >= 0)
+            throw JamException.runtime("Sweep parameters may not contain tabs or newlines.");
+
+        if (replicate < 0)
+            throw JamException.runtime("Replicate index must be non-negative.");
+    }
+
+    /**
+     * Creates a new sweep point.
+     *
+     * @param geometry the geometry of the microwell box.
+     *
+     * @param params a string encoding of the model parameters (which
+     * may not contain tabs or newlines).
+     *
+     * @param replicate the replicate index.
+     *
+     * @return the sweep point with the specified attributes.
+     *
+     * @throws RuntimeException unless the parameter string is free
+     * of tabs and newlines and the replicate index is non-negative.
+     */
+    public static SweepPoint create(RectGeometry geometry, String params, int replicate) {
+        return new SweepPoint(geometry, params, replicate);
+    }
+
+    /**
+     * Returns the geometry of the microwell box for this point.
+     *
+     * @return the geometry of the microwell box for this point.
+     */
+    public RectGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the string encoding of the model parameters.
+     *
+     * @return the string encoding of the model parameters.
+     */
+    public String getParams() {
+        return params;
+    }
+
+    /**
+     * Returns the replicate index for this point.
+     *
+     * @return the replicate index for this point.
+     */
+    public int getReplicate() {
+        return replicate;
+    }
+
+    /**
+     * Returns the key that identifies this point in a results store.
+     *
+     * @return the key that identifies this point in a results store.
+     */
+    public String key() {
+        return String.format("%d,%d,%d,%d,%d|%s|%d",
+                             geometry.getWellDepth(),
+                             geometry.getWellWidth(),
+                             geometry.getWellSpacing(),
+                             geometry.getMediaHeight(),
+                             geometry.getLatticeBand(),
+                             params,
+                             replicate);
+    }
+
+    @Override public boolean equals(Object obj) {
+        return (obj instanceof SweepPoint) && key().equals(((SweepPoint) obj).key());
+    }
+
+    @Override public int hashCode() {
+        return key().hashCode();
+    }
+
+    @Override public String toString() {
+        return String.format("SweepPoint(%s)", key());
+    }
+}
@@ -0,0 +1,174 @@
+package mwell.sweep;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jam.lang.JamException;
+
+import mwell.rect.RectBox;
+import mwell.rect.RectGeometry;
+
+/**
+ * Executes a parameter sweep over microwell geometries on a
+ * work-stealing thread pool.
+ *
+ * <p>Points that share a geometry are grouped so that each box is
+ * built once, when the first task in its group begins, and released
+ * when the group finishes.  Points already recorded in the results
+ * store are skipped, and each result is written to the store as
+ * soon as it is computed.
+ */
+public final class SweepScheduler {
+    private final SweepTask task;
+    private final SweepStore store;
+    private final int parallelism;
+
+    private SweepScheduler(SweepTask task, SweepStore store, int parallelism) {
+        this.task = task;
+        this.store = store;
+        this.parallelism = parallelism;
+
+        if (parallelism < 1)
+            throw JamException.runtime("Parallelism must be positive.");
+    }
+
+    /**
+     * Creates a new sweep scheduler.
+     *
+     * @param task the task that computes each sweep point.
+     *
+     * @param store the store that records completed points.
+     *
+     * @param parallelism the number of worker threads.
+     *
+     * @return a new sweep scheduler with the specified components.
+     *
+     * @throws RuntimeException unless the parallelism is positive.
+     */
+    public static SweepScheduler create(SweepTask task, SweepStore store, int parallelism) {
+        return new SweepScheduler(task, store, parallelism);
+    }
+
+    /**
+     * Creates a new sweep scheduler that uses one worker thread per
+     * available processor.
+     *
+     * @param task the task that computes each sweep point.
+     *
+     * @param store the store that records completed points.
+     *
+     * @return a new sweep scheduler with the specified components.
+     */
+    public static SweepScheduler create(SweepTask task, SweepStore store) {
+        return create(task, store, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Computes and records the results for all sweep points that are
+     * not already present in the results store.
+     *
+     * <p>If any task fails, the exception propagates after the pool
+     * shuts down; results completed before the failure remain in the
+     * store and are skipped when the sweep is resumed.
+     *
+     * @param points the points in the sweep.
+     *
+     * @return the number of points computed by this call.
+     */
+    public int run(Collection<SweepPoint> points) {
+        AtomicInteger count = new AtomicInteger();
+        SweepAction action = new SweepAction(groupPending(points), count);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            pool.invoke(action);
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        return count.get();
+    }
+
+    private Map<RectGeometry, List<SweepPoint>> groupPending(Collection<SweepPoint> points) {
+        Map<RectGeometry, List<SweepPoint>> groups =
+            new LinkedHashMap<RectGeometry, List<SweepPoint>>();
+
+        for (SweepPoint point : points)
+            if (!store.isCompleted(point))
+                groups.computeIfAbsent(point.getGeometry(), geometry -> new ArrayList<SweepPoint>()).add(point);
+
+        return groups;
+    }
+
+    private final class SweepAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<RectGeometry, List<SweepPoint>> groups;
+        private final AtomicInteger count;
+
+        private SweepAction(Map<RectGeometry, List<SweepPoint>> groups, AtomicInteger count) {
+            this.groups = groups;
+            this.count = count;
+        }
+
+        @Override protected void compute() {
+            List<GeometryAction> actions = new ArrayList<GeometryAction>(groups.size());
+
+            for (Map.Entry<RectGeometry, List<SweepPoint>> entry : groups.entrySet())
+                actions.add(new GeometryAction(entry.getKey(), entry.getValue(), count));
+
+            invokeAll(actions);
+        }
+    }
+
+    private final class GeometryAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RectGeometry geometry;
+        private final List<SweepPoint> points;
+        private final AtomicInteger count;
+
+        private GeometryAction(RectGeometry geometry, List<SweepPoint> points, AtomicInteger count) {
+            this.geometry = geometry;
+            this.points = points;
+            this.count = count;
+        }
+
+        @Override protected void compute() {
+            RectBox box = geometry.build();
+            List<PointAction> actions = new ArrayList<PointAction>(points.size());
+
+            for (SweepPoint point : points)
+                actions.add(new PointAction(box, point, count));
+
+            invokeAll(actions);
+        }
+    }
+
+    private final class PointAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RectBox box;
+        private final SweepPoint point;
+        private final AtomicInteger count;
+
+        private PointAction(RectBox box, SweepPoint point, AtomicInteger count) {
+            this.box = box;
+            this.point = point;
+            this.count = count;
+        }
+
+        @Override protected void compute() {
+            store.record(point, task.run(box, point));
+            count.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package mwell.sweep;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import jam.lang.JamException;
+
+/**
+ * Records the results of completed sweep points in a local file so
+ * that an interrupted sweep may be resumed without recomputation.
+ *
+ * <p>Each completed point occupies one line of the file: the point
+ * key, a tab, and the result.  Results are flushed as soon as they
+ * are recorded and are not retained in memory; only the keys of the
+ * completed points are kept.  A partial line left by an interrupted
+ * write is discarded when the store is reopened.
+ */
+public final class SweepStore implements Closeable {
+    private final File file;
+    private final Writer writer;
+    private final Set<String> completed;
+
+    private SweepStore(File file) throws IOException {
+        this.file = file;
+        this.completed = Collections.synchronizedSet(new HashSet<String>());
+
+        truncate(load());
+
+        this.writer =
+            new BufferedWriter(
+                new OutputStreamWriter(
+                    new FileOutputStream(file, true), StandardCharsets.UTF_8));
+    }
+
+    private long load() throws IOException {
+        if (!file.exists())
+            return 0;
+
+        long position = 0;
+        long complete = 0;
+
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            int next;
+
+            while ((next = stream.read()) >= 0) {
+                ++position;
+
+                if (next == '\n') {
+                    addLine(new String(line.toByteArray(), StandardCharsets.UTF_8));
+                    line.reset();
+                    complete = position;
+                }
+                else {
+                    line.write(next);
+                }
+            }
+        }
+
+        return complete;
+    }
+
+    private void addLine(String line) {
+        int tab = line.indexOf('\t');
+
+        if (tab < 0)
+            throw JamException.runtime("Invalid sweep store record: [%s].", line);
+
+        completed.add(line.substring(0, tab));
+    }
+
+    private void truncate(long length) throws IOException {
+        if (file.exists() && file.length() > length)
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(length);
+            }
+    }
+
+    /**
+     * Opens a results store, loading the keys of all points that
+     * were completed in previous sweeps.
+     *
+     * @param file the file containing the results (which will be
+     * created if it does not exist).
+     *
+     * @return the results store backed by the specified file.
+     *
+     * @throws UncheckedIOException if any I/O error occurs.
+     *
+     * @throws RuntimeException if the file contains invalid records.
+     */
+    public static SweepStore open(File file) {
+        try {
+            return new SweepStore(file);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns the number of completed points in this store.
+     *
+     * @return the number of completed points in this store.
+     */
+    public int countCompleted() {
+        return completed.size();
+    }
+
+    /**
+     * Identifies completed sweep points.
+     *
+     * @param point the sweep point to test.
+     *
+     * @return {@code true} iff the result for the specified point has
+     * been recorded in this store.
+     */
+    public boolean isCompleted(SweepPoint point) {
+        return completed.contains(point.key());
+    }
+
+    /**
+     * Records (and flushes) the result for a completed sweep point.
+     *
+     * @param point the completed sweep point.
+     *
+     * @param result the single-line result for the point.
+     *
+     * @throws UncheckedIOException if any I/O error occurs.
+     *
+     * @throws RuntimeException if the result contains a newline.
+     */
+    public synchronized void record(SweepPoint point, String result) {
+        if (result.indexOf('\n') >= 0)
+            throw JamException.runtime("Sweep results may not contain newlines.");
+
+        String key = point.key();
+
+        try {
+            writer.write(key);
+            writer.write('\t');
+            writer.write(result);
+            writer.write('\n');
+            writer.flush();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        completed.add(key);
+    }
+
+    @Override public synchronized void close() {
+        try {
+            writer.close();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package mwell.sweep;
+
+import mwell.rect.RectBox;
+
+/**
+ * Computes the result for a single point in a parameter sweep.
+ *
+ * <p>Implementations must be thread-safe: tasks run concurrently and
+ * points with the same geometry share a single (immutable) box.
+ */
+@FunctionalInterface
+public interface SweepTask {
+    /**
+     * Computes the result for a sweep point.
+     *
+     * @param box the microwell box built from the geometry of the
+     * sweep point.
+     *
+     * @param point the sweep point to compute.
+     *
+     * @return a single-line encoding of the result (which may not
+     * contain newlines).
+     */
+    public abstract String run(RectBox box, SweepPoint point);
+}
@@ -19,6 +19,9 @@ public class RectBoxTest {
     private static final RectBox box =
         RectBox.create(WELL_DEPTH, WELL_WIDTH, WELL_SPACING, MEDIA_HEIGHT);
 
+    private static final RectBox hybrid =
+        RectBox.create(WELL_DEPTH, WELL_WIDTH, WELL_SPACING, MEDIA_HEIGHT, 1);
+
     @Test public void testSites() {
         assertSite(0, 0, null);
         assertSite(3, 0, null);
@@ -29,6 +32,34 @@ public class RectBoxTest {
         assertSite(5, 1, SiteType.WELL, UnitIndex.at(5, 0), UnitIndex.at(4, 1), UnitIndex.at(6, 1), UnitIndex.at(5, 2));
     }
 
+    @Test public void testHybrid() {
+        assertEquals(0, box.getContinuumHeight());
+        assertEquals(2, hybrid.getContinuumHeight());
+        assertEquals(6, hybrid.getLatticeHeight());
+        assertEquals(8, hybrid.getTotalHeight());
+
+        assertFalse(hybrid.isContinuumRow(5));
+        assertTrue(hybrid.isContinuumRow(6));
+        assertTrue(hybrid.isContinuumRow(7));
+        assertFalse(hybrid.isContinuumRow(8));
+
+        assertEquals(SiteType.BULK, hybrid.classifySite(5, 6));
+        assertNull(hybrid.siteAt(5, 6));
+
+        RectSite site = hybrid.siteAt(5, 5);
+
+        assertEquals(SiteType.BULK, site.getType());
+        assertEquals(3, site.countNeighbors());
+        assertFalse(site.isNeighbor(UnitIndex.at(5, 6)));
+
+        assertEquals(box.listSites().size() - 2 * box.getTotalWidth(), hybrid.listSites().size());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInvalidBand() {
+        RectBox.create(WELL_DEPTH, WELL_WIDTH, WELL_SPACING, MEDIA_HEIGHT, MEDIA_HEIGHT + 1);
+    }
+
     private void assertSite(int x, int y, SiteType type, UnitIndex... neighbors) {
         RectSite site = box.siteAt(x, y);
 
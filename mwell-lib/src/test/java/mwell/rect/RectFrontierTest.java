@@ -0,0 +1,104 @@
+package mwell.rect;
+
+import java.util.Random;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class RectFrontierTest {
+    private static final RectBox box = RectBox.create(5, 6, 8, 3, 2);
+
+    @Test public void testBlock() {
+        RectFrontier frontier = RectFrontier.create(box);
+
+        //
+        // Fill a 3 x 3 block: only the center site is interior...
+        //
+        for (int x = 5; x <= 7; ++x)
+            for (int y = 1; y <= 3; ++y)
+                frontier.occupy(box.ordinalOf(x, y));
+
+        assertEquals(9, frontier.countOccupied());
+        assertEquals(8, frontier.countFrontier());
+        assertFalse(frontier.isFrontier(box.ordinalOf(6, 2)));
+        assertTrue(frontier.isFrontier(box.ordinalOf(5, 1)));
+
+        frontier.vacate(box.ordinalOf(6, 3));
+
+        assertEquals(8, frontier.countOccupied());
+        assertEquals(8, frontier.countFrontier());
+        assertTrue(frontier.isFrontier(box.ordinalOf(6, 2)));
+        assertFalse(frontier.isFrontier(box.ordinalOf(6, 3)));
+    }
+
+    @Test public void testPeriodic() {
+        RectFrontier frontier = RectFrontier.create(box);
+
+        // The entire top lattice row, which wraps around in x and has
+        // no neighbors in the continuum region...
+        for (int x = 0; x < box.getTotalWidth(); ++x)
+            frontier.occupy(box.ordinalOf(x, box.getLatticeCeilingY()));
+
+        assertEquals(box.getTotalWidth(), frontier.countFrontier());
+
+        // Filling the top surface row leaves only the sites above the
+        // well opening on the frontier...
+        for (int x = 0; x < box.getTotalWidth(); ++x)
+            frontier.occupy(box.ordinalOf(x, box.getTopSurfaceY()));
+
+        assertEquals(box.getWellWidth(), frontier.countFrontier());
+    }
+
+    @Test public void testRandom() {
+        Random random = new Random(20201019);
+        RectFrontier frontier = RectFrontier.create(box);
+
+        for (int trial = 0; trial < 10000; ++trial) {
+            RectSite site = box.listSites().get(random.nextInt(box.listSites().size()));
+
+            if (frontier.isOccupied(box.ordinalOf(site.getIndex())))
+                frontier.vacate(site);
+            else
+                frontier.occupy(site);
+
+            if (trial % 100 == 0)
+                assertFrontier(frontier);
+        }
+    }
+
+    private void assertFrontier(RectFrontier frontier) {
+        int expected = 0;
+
+        for (RectSite site : box.listSites()) {
+            int ordinal = box.ordinalOf(site.getIndex());
+            boolean active = frontier.isOccupied(ordinal) && hasEmptyNeighbor(frontier, ordinal);
+
+            assertEquals(active, frontier.isFrontier(ordinal));
+
+            if (active)
+                ++expected;
+        }
+
+        assertEquals(expected, frontier.countFrontier());
+
+        for (int k = 0; k < frontier.countFrontier(); ++k)
+            assertTrue(frontier.isFrontier(frontier.frontierAt(k)));
+    }
+
+    private static boolean hasEmptyNeighbor(RectFrontier frontier, int ordinal) {
+        for (int neighbor : frontier.neighborsOf(ordinal))
+            if (!frontier.isOccupied(neighbor))
+                return true;
+
+        return false;
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInaccessible() {
+        RectFrontier.create(box).occupy(box.ordinalOf(0, 0));
+    }
+
+    public static void main(String[] args) {
+        org.junit.runner.JUnitCore.main("mwell.rect.RectFrontierTest");
+    }
+}
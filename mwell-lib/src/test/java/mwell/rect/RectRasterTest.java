@@ -0,0 +1,63 @@
+package mwell.rect;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.BitSet;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class RectRasterTest {
+    private static final RectBox box = RectBox.create(2, 2, 2, 3, 2);
+    private static final RectRaster raster = RectRaster.create(box, 2);
+
+    private static byte pixelAt(byte[] pixels, int x, int y) {
+        return pixels[(raster.getHeight() - 1 - y) * raster.getWidth() + x];
+    }
+
+    @Test public void testRender() {
+        assertEquals(8, raster.getWidth());
+        assertEquals(5, raster.getHeight());
+
+        BitSet occupied = new BitSet();
+        occupied.set(box.ordinalOf(1, 1));
+
+        byte[] pixels = raster.render(occupied);
+
+        assertEquals(RectRaster.BODY_LEVEL, pixelAt(pixels, 0, 0));
+        assertEquals(RectRaster.SURFACE_LEVEL, pixelAt(pixels, 1, 0));
+        assertEquals(RectRaster.OCCUPIED_LEVEL, pixelAt(pixels, 1, 1));
+        assertEquals(RectRaster.OCCUPIED_LEVEL, pixelAt(pixels, 5, 1));
+        assertEquals(RectRaster.SURFACE_LEVEL, pixelAt(pixels, 0, 2));
+        assertEquals(RectRaster.MEDIA_LEVEL, pixelAt(pixels, 1, 3));
+        assertEquals(RectRaster.CONTINUUM_LEVEL, pixelAt(pixels, 1, 4));
+    }
+
+    @Test public void testExport() throws IOException {
+        File directory = Files.createTempDirectory("raster").toFile();
+        directory.deleteOnExit();
+
+        BitSet occupied = new BitSet();
+        occupied.set(box.ordinalOf(1, 1));
+
+        RectFrameExporter exporter =
+            RectFrameExporter.create(raster, directory, "frame", RectFrameExporter.Format.PGM, 4);
+
+        assertTrue(exporter.submit(7, occupied));
+        exporter.close();
+
+        File file = exporter.frameFile(7);
+        file.deleteOnExit();
+
+        byte[] header = "P5\n8 5\n255\n".getBytes();
+        byte[] contents = Files.readAllBytes(file.toPath());
+
+        assertEquals(header.length + raster.countPixels(), contents.length);
+        assertEquals(RectRaster.OCCUPIED_LEVEL, contents[header.length + 3 * 8 + 1]);
+    }
+
+    public static void main(String[] args) {
+        org.junit.runner.JUnitCore.main("mwell.rect.RectRasterTest");
+    }
+}
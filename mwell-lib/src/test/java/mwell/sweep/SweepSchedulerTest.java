@@ -0,0 +1,76 @@
+package mwell.sweep;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import mwell.rect.RectBox;
+import mwell.rect.RectGeometry;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class SweepSchedulerTest {
+    private static final int REPLICATES = 5;
+
+    private final Set<RectBox> boxes =
+        Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<RectBox, Boolean>()));
+
+    private final SweepTask task = (box, point) -> {
+        boxes.add(box);
+        return Integer.toString(box.listSites().size());
+    };
+
+    private static List<SweepPoint> createPoints() {
+        List<SweepPoint> points = new ArrayList<SweepPoint>();
+
+        for (int wellDepth = 2; wellDepth <= 4; ++wellDepth)
+            for (int mediaHeight = 1; mediaHeight <= 2; ++mediaHeight)
+                for (int replicate = 0; replicate < REPLICATES; ++replicate)
+                    points.add(SweepPoint.create(RectGeometry.create(wellDepth, 4, 4, mediaHeight), "rate=0.5", replicate));
+
+        return points;
+    }
+
+    @Test public void testResume() throws IOException {
+        File file = File.createTempFile("sweep", ".txt");
+        file.deleteOnExit();
+
+        List<SweepPoint> points = createPoints();
+
+        try (SweepStore store = SweepStore.open(file)) {
+            assertEquals(15, SweepScheduler.create(task, store, 4).run(points.subList(0, 15)));
+            assertEquals(15, store.countCompleted());
+        }
+
+        //
+        // Simulate an interrupted write...
+        //
+        Files.write(file.toPath(), "2,4,4".getBytes(), StandardOpenOption.APPEND);
+        boxes.clear();
+
+        try (SweepStore store = SweepStore.open(file)) {
+            assertEquals(15, store.countCompleted());
+            assertEquals(15, SweepScheduler.create(task, store, 4).run(points));
+            assertEquals(30, store.countCompleted());
+        }
+
+        // Only the three unfinished geometries were built...
+        assertEquals(3, boxes.size());
+        assertEquals(30, Files.readAllLines(file.toPath()).size());
+
+        try (SweepStore store = SweepStore.open(file)) {
+            assertEquals(0, SweepScheduler.create(task, store, 4).run(points));
+        }
+    }
+
+    public static void main(String[] args) {
+        org.junit.runner.JUnitCore.main("mwell.sweep.SweepSchedulerTest");
+    }
+}